@@ -0,0 +1,44 @@
+package com._P_Doodle.Backend.Controller;
+
+import com._P_Doodle.Backend.Service.HistoryService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/history")
+@CrossOrigin(origins = "*")
+public class HistoryController {
+
+    @Autowired
+    private HistoryService historyService;
+
+    @GetMapping
+    public ResponseEntity<?> getHistory(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            String userId = jwt.getSubject();
+            Map<String, Object> response = historyService.getHistory(userId, cursor, limit);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(@AuthenticationPrincipal Jwt jwt) {
+        try {
+            String userId = jwt.getSubject();
+            Map<String, Object> response = historyService.getStats(userId);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
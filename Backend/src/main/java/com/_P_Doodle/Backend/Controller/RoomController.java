@@ -1,5 +1,6 @@
 package com._P_Doodle.Backend.Controller;
 
+import com._P_Doodle.Backend.Service.PresenceService;
 import com._P_Doodle.Backend.Service.RoomService;
 import com._P_Doodle.Backend.Service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,9 @@ public class RoomController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private PresenceService presenceService;
+
     @PostMapping("/create")
     public ResponseEntity<?> createRoom(@AuthenticationPrincipal Jwt jwt) {
         try {
@@ -70,6 +74,22 @@ public class RoomController {
         }
     }
 
+    @PostMapping("/heartbeat")
+    public ResponseEntity<?> heartbeat(@AuthenticationPrincipal Jwt jwt) {
+        try {
+            String userId = jwt.getSubject();
+            Map<String, Object> response = roomService.heartbeat(userId);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/presence")
+    public ResponseEntity<?> getPresence() {
+        return ResponseEntity.ok(presenceService.getCounts());
+    }
+
     @PostMapping("/leave")
     public ResponseEntity<?> leaveRoom(@AuthenticationPrincipal Jwt jwt) {
         try {
@@ -0,0 +1,80 @@
+package com._P_Doodle.Backend.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "partner_stats",
+        uniqueConstraints = @UniqueConstraint(name = "uk_partner_stats_user_partner", columnNames = {"userId", "partnerId"}),
+        indexes = @Index(name = "idx_partner_stats_user_sessions", columnList = "userId, sessions DESC, lastPairedAt DESC"))
+public class PartnerStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private UUID partnerId;
+
+    @Column(nullable = false)
+    private Long sessions = 0L;
+
+    @Column(nullable = false)
+    private Long totalPairedSeconds = 0L;
+
+    @Column
+    private LocalDateTime lastPairedAt;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getPartnerId() {
+        return partnerId;
+    }
+
+    public void setPartnerId(UUID partnerId) {
+        this.partnerId = partnerId;
+    }
+
+    public Long getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(Long sessions) {
+        this.sessions = sessions;
+    }
+
+    public Long getTotalPairedSeconds() {
+        return totalPairedSeconds;
+    }
+
+    public void setTotalPairedSeconds(Long totalPairedSeconds) {
+        this.totalPairedSeconds = totalPairedSeconds;
+    }
+
+    public LocalDateTime getLastPairedAt() {
+        return lastPairedAt;
+    }
+
+    public void setLastPairedAt(LocalDateTime lastPairedAt) {
+        this.lastPairedAt = lastPairedAt;
+    }
+}
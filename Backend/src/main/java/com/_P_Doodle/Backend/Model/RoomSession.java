@@ -0,0 +1,107 @@
+package com._P_Doodle.Backend.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One user's participation in a room. Rows outlive the room itself so history
+ * can be read without touching the rooms table.
+ */
+@Entity
+@Table(name = "room_sessions", indexes = {
+        @Index(name = "idx_room_sessions_user_started", columnList = "userId, startedAt DESC, id DESC"),
+        @Index(name = "idx_room_sessions_room", columnList = "roomId")
+})
+public class RoomSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private UUID roomId;
+
+    @Column(nullable = false, length = 6)
+    private String roomCode;
+
+    @Column
+    private UUID partnerId;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column
+    private LocalDateTime pairedAt;
+
+    @Column
+    private LocalDateTime endedAt;
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(UUID roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getRoomCode() {
+        return roomCode;
+    }
+
+    public void setRoomCode(String roomCode) {
+        this.roomCode = roomCode;
+    }
+
+    public UUID getPartnerId() {
+        return partnerId;
+    }
+
+    public void setPartnerId(UUID partnerId) {
+        this.partnerId = partnerId;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getPairedAt() {
+        return pairedAt;
+    }
+
+    public void setPairedAt(LocalDateTime pairedAt) {
+        this.pairedAt = pairedAt;
+    }
+
+    public LocalDateTime getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(LocalDateTime endedAt) {
+        this.endedAt = endedAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com._P_Doodle.Backend.Model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "user_stats")
+public class UserStats {
+
+    @Id
+    private UUID userId;
+
+    @Column(nullable = false)
+    private Long roomsCreated = 0L;
+
+    // Sessions that actually got paired with a partner
+    @Column(nullable = false)
+    private Long sessions = 0L;
+
+    @Column(nullable = false)
+    private Long totalPairedSeconds = 0L;
+
+    @Column
+    private LocalDateTime lastSessionAt;
+
+    // Getters and Setters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public Long getRoomsCreated() {
+        return roomsCreated;
+    }
+
+    public void setRoomsCreated(Long roomsCreated) {
+        this.roomsCreated = roomsCreated;
+    }
+
+    public Long getSessions() {
+        return sessions;
+    }
+
+    public void setSessions(Long sessions) {
+        this.sessions = sessions;
+    }
+
+    public Long getTotalPairedSeconds() {
+        return totalPairedSeconds;
+    }
+
+    public void setTotalPairedSeconds(Long totalPairedSeconds) {
+        this.totalPairedSeconds = totalPairedSeconds;
+    }
+
+    public LocalDateTime getLastSessionAt() {
+        return lastSessionAt;
+    }
+
+    public void setLastSessionAt(LocalDateTime lastSessionAt) {
+        this.lastSessionAt = lastSessionAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com._P_Doodle.Backend.Repository;
+
+import com._P_Doodle.Backend.Model.PartnerStats;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PartnerStatsRepository extends JpaRepository<PartnerStats, UUID> {
+
+    Optional<PartnerStats> findByUserIdAndPartnerId(UUID userId, UUID partnerId);
+
+    // Ties on sessions go to the most recent partner; served by idx_partner_stats_user_sessions
+    List<PartnerStats> findByUserIdOrderBySessionsDescLastPairedAtDesc(UUID userId, Pageable pageable);
+}
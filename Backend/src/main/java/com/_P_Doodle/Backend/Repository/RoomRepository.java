@@ -1,12 +1,14 @@
 package com._P_Doodle.Backend.Repository;
 
 import com._P_Doodle.Backend.Model.Room;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +25,21 @@ public interface RoomRepository extends JpaRepository<Room, UUID> {
     
     @Query("SELECT r FROM Room r WHERE r.user1Id = :userId OR r.user2Id = :userId")
     Optional<Room> findByUserId(UUID userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.id = :id")
+    Optional<Room> findByIdForUpdate(UUID id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Room r WHERE r.user1Id = :userId OR r.user2Id = :userId")
+    Optional<Room> findByUserIdForUpdate(UUID userId);
     
     boolean existsByRoomCode(String roomCode);
+
+    // Keyset batches by id, stable while rooms are being deleted
+    @Query("SELECT r FROM Room r ORDER BY r.id")
+    List<Room> findBatch(Pageable pageable);
+
+    @Query("SELECT r FROM Room r WHERE r.id > :lastId ORDER BY r.id")
+    List<Room> findBatchAfter(UUID lastId, Pageable pageable);
 }
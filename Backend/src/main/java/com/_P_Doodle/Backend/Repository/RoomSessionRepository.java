@@ -0,0 +1,28 @@
+package com._P_Doodle.Backend.Repository;
+
+import com._P_Doodle.Backend.Model.RoomSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RoomSessionRepository extends JpaRepository<RoomSession, UUID> {
+
+    // Keyset pagination, newest first; both queries are served by idx_room_sessions_user_started
+    @Query("SELECT s FROM RoomSession s WHERE s.userId = :userId ORDER BY s.startedAt DESC, s.id DESC")
+    List<RoomSession> findLatestByUserId(UUID userId, Pageable pageable);
+
+    @Query("SELECT s FROM RoomSession s WHERE s.userId = :userId " +
+           "AND (s.startedAt < :startedAt OR (s.startedAt = :startedAt AND s.id < :id)) " +
+           "ORDER BY s.startedAt DESC, s.id DESC")
+    List<RoomSession> findByUserIdBefore(UUID userId, LocalDateTime startedAt, UUID id, Pageable pageable);
+
+    List<RoomSession> findByRoomIdAndEndedAtIsNull(UUID roomId);
+
+    boolean existsByRoomId(UUID roomId);
+}
@@ -0,0 +1,12 @@
+package com._P_Doodle.Backend.Repository;
+
+import com._P_Doodle.Backend.Model.UserStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, UUID> {
+
+}
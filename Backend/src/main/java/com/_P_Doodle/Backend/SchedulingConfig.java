@@ -0,0 +1,13 @@
+package com._P_Doodle.Backend;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tests turn this off with presence.scheduling=false and tick the presence monitor by hand
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "presence.scheduling", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+
+}
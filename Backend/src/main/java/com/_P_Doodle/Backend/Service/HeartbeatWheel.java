@@ -0,0 +1,187 @@
+package com._P_Doodle.Backend.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hashed timing wheel that tracks the last heartbeat of every participant.
+ *
+ * Heartbeats only overwrite a timestamp on the participant's entry, so they never
+ * take the wheel lock. Each tick visits a single slot; entries that were seen again
+ * since they were scheduled are lazily moved to the slot of their new deadline,
+ * the rest are reported as expired. One entry is allocated per tracked session.
+ */
+public class HeartbeatWheel {
+
+    /** A participant whose heartbeat lapsed, with the time they were last seen. */
+    public record Expired(String userId, long lastSeenMillis) {
+    }
+
+    static final class Entry {
+        final String userId;
+        UUID roomId;
+        volatile long lastSeenMillis;
+        long deadlineTick;
+        Entry prev;
+        Entry next;
+
+        Entry(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    private final long tickMillis;
+    private final long graceMillis;
+    private final Entry[] slots;
+    private final int mask;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Online participants per room, guarded by the wheel lock
+    private final Map<UUID, Integer> onlineByRoom = new HashMap<>();
+    private long currentTick;
+
+    public HeartbeatWheel(long tickMillis, long graceMillis, long nowMillis) {
+        if (tickMillis <= 0 || graceMillis < tickMillis) {
+            throw new IllegalArgumentException("Grace period must be at least one tick");
+        }
+        this.tickMillis = tickMillis;
+        this.graceMillis = graceMillis;
+        // Every deadline must land within one rotation of the current tick
+        int size = Integer.highestOneBit((int) (graceMillis / tickMillis) + 2) << 1;
+        this.slots = new Entry[size];
+        this.mask = size - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Refreshes the last-seen time of a tracked participant.
+     * Returns false when the participant is not tracked.
+     */
+    public boolean touch(String userId, long nowMillis) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            return false;
+        }
+        entry.lastSeenMillis = nowMillis;
+        return true;
+    }
+
+    /** Starts tracking a participant of the given room, or moves them to it. */
+    public synchronized void track(String userId, UUID roomId, long nowMillis) {
+        Entry entry = entries.get(userId);
+        if (entry == null) {
+            entry = new Entry(userId);
+            entry.lastSeenMillis = nowMillis;
+            entry.deadlineTick = deadlineOf(nowMillis);
+            link(entry);
+            entries.put(userId, entry);
+        } else {
+            entry.lastSeenMillis = nowMillis;
+            if (roomId.equals(entry.roomId)) {
+                return;
+            }
+            decrementRoom(entry.roomId);
+        }
+        entry.roomId = roomId;
+        onlineByRoom.merge(roomId, 1, Integer::sum);
+    }
+
+    public synchronized void untrack(String userId) {
+        Entry entry = entries.remove(userId);
+        if (entry != null) {
+            unlink(entry);
+            decrementRoom(entry.roomId);
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time and returns the participants whose
+     * heartbeat is older than the grace period. Expired participants are untracked.
+     */
+    public synchronized List<Expired> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        if (targetTick <= currentTick) {
+            return Collections.emptyList();
+        }
+        // After a long pause each slot only needs to be visited once
+        long firstTick = Math.max(currentTick + 1, targetTick - mask);
+        List<Expired> expired = null;
+
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Entry entry = slots[(int) (tick & mask)];
+            while (entry != null) {
+                Entry next = entry.next;
+                if (entry.deadlineTick <= targetTick) {
+                    unlink(entry);
+                    long deadline = deadlineOf(entry.lastSeenMillis);
+                    if (deadline <= targetTick) {
+                        entries.remove(entry.userId);
+                        decrementRoom(entry.roomId);
+                        if (expired == null) {
+                            expired = new ArrayList<>();
+                        }
+                        expired.add(new Expired(entry.userId, entry.lastSeenMillis));
+                    } else {
+                        entry.deadlineTick = deadline;
+                        link(entry);
+                    }
+                }
+                entry = next;
+            }
+        }
+
+        currentTick = targetTick;
+        return expired != null ? expired : Collections.emptyList();
+    }
+
+    public int onlineUsers() {
+        return entries.size();
+    }
+
+    public synchronized int onlineRooms() {
+        return onlineByRoom.size();
+    }
+
+    private long deadlineOf(long lastSeenMillis) {
+        // Round up so a participant is never expired before the full grace period
+        return (lastSeenMillis + graceMillis + tickMillis - 1) / tickMillis;
+    }
+
+    private void link(Entry entry) {
+        int index = (int) (entry.deadlineTick & mask);
+        Entry head = slots[index];
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        slots[index] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            int index = (int) (entry.deadlineTick & mask);
+            if (slots[index] == entry) {
+                slots[index] = entry.next;
+            }
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private void decrementRoom(UUID roomId) {
+        if (roomId != null) {
+            onlineByRoom.computeIfPresent(roomId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+}
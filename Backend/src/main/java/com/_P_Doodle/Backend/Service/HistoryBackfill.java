@@ -0,0 +1,59 @@
+package com._P_Doodle.Backend.Service;
+
+import com._P_Doodle.Backend.Model.Room;
+import com._P_Doodle.Backend.Repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-off job that seeds history for rooms created before history was tracked.
+ * Rooms that were already left are deleted, so only live rooms can be recovered.
+ * Enable with history.backfill=true; rooms that already have history are skipped.
+ */
+@Component
+@ConditionalOnProperty(name = "history.backfill", havingValue = "true")
+public class HistoryBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryBackfill.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Value("${history.backfill-batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int backfilled = 0;
+        PageRequest limit = PageRequest.of(0, batchSize);
+        // Keyset on id rather than offsets: rooms deleted by leaveRoom would shift offsets and skip rows
+        List<Room> batch = roomRepository.findBatch(limit);
+        while (!batch.isEmpty()) {
+            for (Room room : batch) {
+                try {
+                    if (historyService.backfillRoom(room.getId())) {
+                        backfilled++;
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to backfill history for room {}", room.getRoomCode(), e);
+                }
+            }
+            UUID lastId = batch.get(batch.size() - 1).getId();
+            batch = roomRepository.findBatchAfter(lastId, limit);
+        }
+        log.info("History backfill finished, {} rooms recorded", backfilled);
+    }
+}
@@ -0,0 +1,330 @@
+package com._P_Doodle.Backend.Service;
+
+import com._P_Doodle.Backend.Model.PartnerStats;
+import com._P_Doodle.Backend.Model.Room;
+import com._P_Doodle.Backend.Model.RoomSession;
+import com._P_Doodle.Backend.Model.User;
+import com._P_Doodle.Backend.Model.UserStats;
+import com._P_Doodle.Backend.Repository.PartnerStatsRepository;
+import com._P_Doodle.Backend.Repository.RoomRepository;
+import com._P_Doodle.Backend.Repository.RoomSessionRepository;
+import com._P_Doodle.Backend.Repository.UserRepository;
+import com._P_Doodle.Backend.Repository.UserStatsRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user room history and stats, maintained incrementally from the room
+ * transitions in {@link RoomService}. Reads only use the history tables.
+ */
+@Service
+public class HistoryService {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int FREQUENT_PARTNERS = 5;
+    private static final int GENERATION_STRIPES = 1024;
+
+    @Autowired
+    private RoomSessionRepository roomSessionRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private PartnerStatsRepository partnerStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Only used by the backfill; history reads never touch the rooms table
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Value("${history.cache-size:10000}")
+    private int cacheSize;
+
+    // Bounded LRU of stats responses, evicted once a transition commits
+    private Map<UUID, Map<String, Object>> statsCache;
+
+    // Bumped on every eviction so a read that started before a commit cannot cache stale stats
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    void init() {
+        statsCache = Collections.synchronizedMap(new LinkedHashMap<UUID, Map<String, Object>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Map<String, Object>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public void onRoomCreated(Room room) {
+        openSession(room.getUser1Id(), room, room.getCreatedAt());
+
+        UserStats stats = getOrCreateStats(room.getUser1Id());
+        stats.setRoomsCreated(stats.getRoomsCreated() + 1);
+        userStatsRepository.save(stats);
+        evictAfterCommit(room.getUser1Id());
+    }
+
+    public void onRoomJoined(Room room, LocalDateTime pairedAt) {
+        for (RoomSession session : roomSessionRepository.findByRoomIdAndEndedAtIsNull(room.getId())) {
+            session.setPartnerId(room.getUser2Id());
+            session.setPairedAt(pairedAt);
+            roomSessionRepository.save(session);
+        }
+
+        RoomSession session = openSession(room.getUser2Id(), room, pairedAt);
+        session.setPartnerId(room.getUser1Id());
+        session.setPairedAt(pairedAt);
+        roomSessionRepository.save(session);
+    }
+
+    public void onRoomClosed(Room room, LocalDateTime endedAt) {
+        for (RoomSession session : roomSessionRepository.findByRoomIdAndEndedAtIsNull(room.getId())) {
+            session.setEndedAt(endedAt);
+            roomSessionRepository.save(session);
+
+            if (session.getPairedAt() != null && session.getPartnerId() != null) {
+                long seconds = Math.max(0, Duration.between(session.getPairedAt(), endedAt).getSeconds());
+                recordPairedSession(session.getUserId(), session.getPartnerId(), seconds, endedAt);
+            }
+            evictAfterCommit(session.getUserId());
+        }
+    }
+
+    /**
+     * Records a room that existed before history was tracked. Returns false if
+     * the room is gone or already has history rows.
+     */
+    @Transactional
+    public boolean backfillRoom(UUID roomId) {
+        // Re-read under the same lock as join/leave so the room cannot change underneath us
+        Optional<Room> roomOpt = roomRepository.findByIdForUpdate(roomId);
+        if (!roomOpt.isPresent() || roomSessionRepository.existsByRoomId(roomId)) {
+            return false;
+        }
+        Room room = roomOpt.get();
+        onRoomCreated(room);
+        if (room.getIsLocked() && room.getUser2Id() != null) {
+            // The real pairing time was never stored, creation time is the closest we have
+            onRoomJoined(room, room.getCreatedAt());
+        }
+        return true;
+    }
+
+    public Map<String, Object> getHistory(String userId, String cursor, Integer limit) {
+        UUID userUuid = UUID.fromString(userId);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether there is a next page
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+
+        List<RoomSession> sessions;
+        if (cursor == null || cursor.isEmpty()) {
+            sessions = roomSessionRepository.findLatestByUserId(userUuid, page);
+        } else {
+            RoomSession after = decodeCursor(cursor);
+            sessions = roomSessionRepository.findByUserIdBefore(
+                    userUuid, after.getStartedAt(), after.getId(), page);
+        }
+
+        boolean hasMore = sessions.size() > pageSize;
+        if (hasMore) {
+            sessions = sessions.subList(0, pageSize);
+        }
+
+        Set<String> partnerIds = sessions.stream()
+                .filter(s -> s.getPartnerId() != null)
+                .map(s -> s.getPartnerId().toString())
+                .collect(Collectors.toSet());
+        Map<String, String> names = getUserNames(partnerIds);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (RoomSession session : sessions) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("roomCode", session.getRoomCode());
+            item.put("startedAt", session.getStartedAt());
+            item.put("pairedAt", session.getPairedAt());
+            item.put("endedAt", session.getEndedAt());
+            if (session.getPartnerId() != null) {
+                item.put("partner", names.getOrDefault(session.getPartnerId().toString(), "Unknown"));
+            }
+            items.add(item);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", items);
+        if (hasMore) {
+            response.put("nextCursor", encodeCursor(sessions.get(sessions.size() - 1)));
+        }
+        return response;
+    }
+
+    public Map<String, Object> getStats(String userId) {
+        UUID userUuid = UUID.fromString(userId);
+        Map<String, Object> cached = statsCache.get(userUuid);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = currentGeneration(userUuid);
+
+        UserStats stats = userStatsRepository.findById(userUuid).orElseGet(UserStats::new);
+        List<PartnerStats> partners = partnerStatsRepository.findByUserIdOrderBySessionsDescLastPairedAtDesc(
+                userUuid, PageRequest.of(0, FREQUENT_PARTNERS));
+        Map<String, String> names = getUserNames(partners.stream()
+                .map(p -> p.getPartnerId().toString())
+                .collect(Collectors.toSet()));
+
+        List<Map<String, Object>> frequentPartners = new ArrayList<>();
+        for (PartnerStats partner : partners) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("partner", names.getOrDefault(partner.getPartnerId().toString(), "Unknown"));
+            item.put("sessions", partner.getSessions());
+            item.put("totalPairedSeconds", partner.getTotalPairedSeconds());
+            item.put("lastPairedAt", partner.getLastPairedAt());
+            frequentPartners.add(item);
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("roomsCreated", stats.getRoomsCreated());
+        response.put("sessions", stats.getSessions());
+        response.put("totalPairedSeconds", stats.getTotalPairedSeconds());
+        response.put("lastSessionAt", stats.getLastSessionAt());
+        response.put("frequentPartners", frequentPartners);
+
+        Map<String, Object> result = Collections.unmodifiableMap(response);
+        cacheIfCurrent(userUuid, generation, result);
+        return result;
+    }
+
+    long currentGeneration(UUID userId) {
+        return generations.get(stripeOf(userId));
+    }
+
+    // Caches only if nothing was evicted for this user since the read started
+    void cacheIfCurrent(UUID userId, long generation, Map<String, Object> stats) {
+        synchronized (statsCache) {
+            if (generations.get(stripeOf(userId)) == generation) {
+                statsCache.put(userId, stats);
+            }
+        }
+    }
+
+    private RoomSession openSession(UUID userId, Room room, LocalDateTime startedAt) {
+        RoomSession session = new RoomSession();
+        session.setUserId(userId);
+        session.setRoomId(room.getId());
+        session.setRoomCode(room.getRoomCode());
+        // Stored at database precision so cursors built from this entity match the stored key
+        session.setStartedAt(startedAt.truncatedTo(ChronoUnit.MICROS));
+        return roomSessionRepository.save(session);
+    }
+
+    private void recordPairedSession(UUID userId, UUID partnerId, long seconds, LocalDateTime endedAt) {
+        UserStats stats = getOrCreateStats(userId);
+        stats.setSessions(stats.getSessions() + 1);
+        stats.setTotalPairedSeconds(stats.getTotalPairedSeconds() + seconds);
+        stats.setLastSessionAt(endedAt);
+        userStatsRepository.save(stats);
+
+        PartnerStats partner = partnerStatsRepository.findByUserIdAndPartnerId(userId, partnerId)
+                .orElseGet(() -> {
+                    PartnerStats created = new PartnerStats();
+                    created.setUserId(userId);
+                    created.setPartnerId(partnerId);
+                    return created;
+                });
+        partner.setSessions(partner.getSessions() + 1);
+        partner.setTotalPairedSeconds(partner.getTotalPairedSeconds() + seconds);
+        partner.setLastPairedAt(endedAt);
+        partnerStatsRepository.save(partner);
+    }
+
+    private UserStats getOrCreateStats(UUID userId) {
+        Optional<UserStats> statsOpt = userStatsRepository.findById(userId);
+        if (statsOpt.isPresent()) {
+            return statsOpt.get();
+        }
+        UserStats stats = new UserStats();
+        stats.setUserId(userId);
+        return stats;
+    }
+
+    private Map<String, String> getUserNames(Set<String> userIds) {
+        Map<String, String> names = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return names;
+        }
+        for (User user : userRepository.findAllById(userIds)) {
+            names.put(user.getId(), user.getName());
+        }
+        return names;
+    }
+
+    private void evictAfterCommit(UUID userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(userId);
+            }
+        });
+    }
+
+    private void evict(UUID userId) {
+        synchronized (statsCache) {
+            generations.incrementAndGet(stripeOf(userId));
+            statsCache.remove(userId);
+        }
+    }
+
+    private int stripeOf(UUID userId) {
+        return userId.hashCode() & (GENERATION_STRIPES - 1);
+    }
+
+    private String encodeCursor(RoomSession session) {
+        String raw = session.getStartedAt() + "|" + session.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private RoomSession decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            RoomSession after = new RoomSession();
+            after.setStartedAt(LocalDateTime.parse(parts[0]));
+            after.setId(UUID.fromString(parts[1]));
+            return after;
+        } catch (Exception e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
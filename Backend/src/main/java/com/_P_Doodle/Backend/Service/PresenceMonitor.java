@@ -0,0 +1,60 @@
+package com._P_Doodle.Backend.Service;
+
+import com._P_Doodle.Backend.Model.Room;
+import com._P_Doodle.Backend.Repository.RoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ticks the presence wheel and makes participants that stopped sending
+ * heartbeats leave their room, so the partner is not left paired with a ghost.
+ */
+@Component
+public class PresenceMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceMonitor.class);
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    /**
+     * The wheel is empty after a restart. Track everyone who still has a room once,
+     * so participants that never come back are cleaned up after the grace period.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        int seeded = 0;
+        for (Room room : roomRepository.findAll()) {
+            presenceService.track(room.getUser1Id().toString(), room.getId());
+            seeded++;
+            if (room.getUser2Id() != null) {
+                presenceService.track(room.getUser2Id().toString(), room.getId());
+                seeded++;
+            }
+        }
+        log.info("Presence seeded with {} room participants", seeded);
+    }
+
+    @Scheduled(fixedRateString = "${presence.tick-millis:1000}")
+    public void tick() {
+        for (HeartbeatWheel.Expired expired : presenceService.collectExpired()) {
+            try {
+                // Same cleanup as an explicit /room/leave, but the session ended at the last heartbeat
+                roomService.leaveRoom(expired.userId(), presenceService.lastSeenAt(expired));
+            } catch (Exception e) {
+                log.warn("Failed to remove disconnected user {} from room", expired.userId(), e);
+            }
+        }
+    }
+}
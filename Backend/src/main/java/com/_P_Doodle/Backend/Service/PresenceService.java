@@ -0,0 +1,74 @@
+package com._P_Doodle.Backend.Service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory presence of room participants. Nothing here touches the database;
+ * expired participants are handed to {@link PresenceMonitor} for cleanup.
+ */
+@Service
+public class PresenceService {
+
+    @Value("${presence.grace-seconds:150}")
+    private long graceSeconds;
+
+    @Value("${presence.tick-millis:1000}")
+    private long tickMillis;
+
+    // Monotonic, so a wall clock step (NTP, VM resume) cannot expire everyone at once
+    private static final long ORIGIN = System.nanoTime();
+    private LongSupplier clock = () -> (System.nanoTime() - ORIGIN) / 1_000_000;
+
+    private HeartbeatWheel wheel;
+
+    @PostConstruct
+    void init() {
+        wheel = new HeartbeatWheel(tickMillis, graceSeconds * 1000, clock.getAsLong());
+    }
+
+    // Replaces the clock and starts from an empty wheel; used by tests
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+        init();
+    }
+
+    public void track(String userId, UUID roomId) {
+        wheel.track(userId, roomId, clock.getAsLong());
+    }
+
+    public void untrack(String userId) {
+        wheel.untrack(userId);
+    }
+
+    // Returns false if the user is not tracked yet (e.g. after a restart)
+    public boolean heartbeat(String userId) {
+        return wheel.touch(userId, clock.getAsLong());
+    }
+
+    List<HeartbeatWheel.Expired> collectExpired() {
+        return wheel.advance(clock.getAsLong());
+    }
+
+    // Converts a last-seen time from the monotonic clock to wall-clock time
+    LocalDateTime lastSeenAt(HeartbeatWheel.Expired expired) {
+        long ago = Math.max(0, clock.getAsLong() - expired.lastSeenMillis());
+        return LocalDateTime.now().minus(ago, ChronoUnit.MILLIS);
+    }
+
+    public Map<String, Object> getCounts() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("onlineUsers", wheel.onlineUsers());
+        response.put("onlineRooms", wheel.onlineRooms());
+        return response;
+    }
+}
@@ -23,6 +23,12 @@ public class RoomService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private HistoryService historyService;
+
     private String generateRoomCode() {
         String chars = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789"; // No confusing chars
         StringBuilder code = new StringBuilder();
@@ -41,6 +47,7 @@ public class RoomService {
         Optional<Room> existingRoom = roomRepository.findByUserId(userUuid);
         if (existingRoom.isPresent()) {
             Room room = existingRoom.get();
+            presenceService.track(userId, room.getId());
             Map<String, Object> response = new HashMap<>();
             response.put("code", room.getRoomCode());
             response.put("status", room.getIsLocked() ? "PAIRED" : "WAITING");
@@ -63,6 +70,8 @@ public class RoomService {
         room.setIsLocked(false);
         room.setCreatedAt(LocalDateTime.now());
         roomRepository.save(room);
+        historyService.onRoomCreated(room);
+        presenceService.track(userId, room.getId());
 
         // Update user
         Optional<User> userOpt = userRepository.findById(userId);
@@ -114,6 +123,8 @@ public class RoomService {
         room.setUser2Id(userUuid);
         room.setIsLocked(true);
         roomRepository.save(room);
+        historyService.onRoomJoined(room, LocalDateTime.now());
+        presenceService.track(userId, room.getId());
 
         // Update user
         Optional<User> userOpt = userRepository.findById(userId);
@@ -151,6 +162,10 @@ public class RoomService {
         }
 
         Room room = roomOpt.get();
+        // Polling the status also counts as a heartbeat; only take the wheel lock if untracked
+        if (!presenceService.heartbeat(userId)) {
+            presenceService.track(userId, room.getId());
+        }
         response.put("code", room.getRoomCode());
         
         if (room.getIsLocked()) {
@@ -186,30 +201,65 @@ public class RoomService {
         return getUserEmail(partnerId != null ? partnerId.toString() : "");
     }
 
+    public Map<String, Object> heartbeat(String userId) {
+        Map<String, Object> response = new HashMap<>();
+        if (presenceService.heartbeat(userId)) {
+            response.put("status", "IN_ROOM");
+            return response;
+        }
+
+        // Not tracked (after a restart, or the room was closed), check the database once.
+        // Clients stop sending heartbeats after NO_ROOM, so this does not repeat.
+        UUID userUuid = UUID.fromString(userId);
+        Optional<Room> roomOpt = roomRepository.findByUserId(userUuid);
+        if (!roomOpt.isPresent()) {
+            response.put("status", "NO_ROOM");
+            return response;
+        }
+        presenceService.track(userId, roomOpt.get().getId());
+        response.put("status", "IN_ROOM");
+        return response;
+    }
+
     @Transactional
     public void leaveRoom(String userId) {
+        leaveRoom(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Leaves the room, recording endedAt as the end of the session. Auto-leave
+     * passes the last heartbeat so the grace period is not counted as paired time.
+     */
+    @Transactional
+    public void leaveRoom(String userId, LocalDateTime endedAt) {
         UUID userUuid = UUID.fromString(userId);
-        Optional<Room> roomOpt = roomRepository.findByUserId(userUuid);
+        // Lock like joinRoom does, so a concurrent join is either fully seen or waits
+        Optional<Room> roomOpt = roomRepository.findByUserIdForUpdate(userUuid);
         
         if (roomOpt.isPresent()) {
             Room room = roomOpt.get();
             // Clear room linkage for both participants, then remove the room
             if (room.getUser1Id() != null) {
+                presenceService.untrack(room.getUser1Id().toString());
                 userRepository.findById(room.getUser1Id().toString()).ifPresent(u -> {
                     u.setRoomId(null);
                     userRepository.save(u);
                 });
             }
             if (room.getUser2Id() != null) {
+                presenceService.untrack(room.getUser2Id().toString());
                 userRepository.findById(room.getUser2Id().toString()).ifPresent(u -> {
                     u.setRoomId(null);
                     userRepository.save(u);
                 });
             }
+            // Close the history before the room row disappears
+            historyService.onRoomClosed(room, endedAt);
             roomRepository.delete(room);
         }
         
         // Clear user's room association
+        presenceService.untrack(userId);
         Optional<User> userOpt = userRepository.findById(userId);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
@@ -0,0 +1,123 @@
+package com._P_Doodle.Backend.Repository;
+
+import com._P_Doodle.Backend.Model.RoomSession;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Read latency of the history queries with 1M rows in room_sessions, 100k of
+ * them belonging to a single heavy user. Runs against in-memory H2, so the numbers
+ * and plans are only indicative for Postgres. Excluded from the default build;
+ * run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class RoomSessionReadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomSessionReadBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int PAGE = 21;
+    private static final int RUNS = 200;
+
+    private static final UUID HEAVY_USER = UUID.fromString("00000000-0000-0000-0000-00000000beef");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private RoomSessionRepository roomSessionRepository;
+
+    @Test
+    void historyReadsAtOneMillionRows() {
+        seed();
+        assertHistoryQueriesUseUserStartedIndex();
+        measureReadLatency();
+    }
+
+    private void seed() {
+        // Every 10th row belongs to the heavy user, one row per second from 2026-01-01
+        entityManager.createNativeQuery(
+                "INSERT INTO room_sessions (id, user_id, room_id, room_code, partner_id, started_at, paired_at, ended_at) " +
+                "SELECT RANDOM_UUID(), " +
+                "CASE WHEN MOD(X, 10) = 0 THEN CAST('" + HEAVY_USER + "' AS UUID) ELSE RANDOM_UUID() END, " +
+                "RANDOM_UUID(), 'BENCH1', NULL, " +
+                "DATEADD('SECOND', X, TIMESTAMP '2026-01-01 00:00:00'), NULL, " +
+                "DATEADD('SECOND', X + 60, TIMESTAMP '2026-01-01 00:00:00') " +
+                "FROM SYSTEM_RANGE(1, " + ROWS + ")")
+                .executeUpdate();
+    }
+
+    // H2's planner, not Postgres: this only guards the index definition and query shape
+    private void assertHistoryQueriesUseUserStartedIndex() {
+        String firstPage = plan("SELECT * FROM room_sessions WHERE user_id = CAST('" + HEAVY_USER + "' AS UUID) " +
+                "ORDER BY started_at DESC, id DESC LIMIT " + PAGE);
+        String keysetPage = plan("SELECT * FROM room_sessions WHERE user_id = CAST('" + HEAVY_USER + "' AS UUID) " +
+                "AND (started_at < TIMESTAMP '2026-01-06 00:00:00' " +
+                "OR (started_at = TIMESTAMP '2026-01-06 00:00:00' AND id < RANDOM_UUID())) " +
+                "ORDER BY started_at DESC, id DESC LIMIT " + PAGE);
+
+        assertTrue(firstPage.contains("IDX_ROOM_SESSIONS_USER_STARTED"), firstPage);
+        assertTrue(keysetPage.contains("IDX_ROOM_SESSIONS_USER_STARTED"), keysetPage);
+    }
+
+    private void measureReadLatency() {
+        PageRequest page = PageRequest.of(0, PAGE);
+        // A cursor deep into the heavy user's history (90% of the way back)
+        LocalDateTime deepStartedAt = LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(ROWS / 10);
+        UUID deepId = (UUID) entityManager.createNativeQuery(
+                "SELECT id FROM room_sessions WHERE user_id = CAST('" + HEAVY_USER + "' AS UUID) AND started_at = ?1")
+                .setParameter(1, deepStartedAt)
+                .getSingleResult();
+
+        long firstP95 = p95Micros(() -> roomSessionRepository.findLatestByUserId(HEAVY_USER, page));
+        long deepP95 = p95Micros(() -> roomSessionRepository.findByUserIdBefore(HEAVY_USER, deepStartedAt, deepId, page));
+        long coldP95 = p95Micros(() -> roomSessionRepository.findLatestByUserId(UUID.randomUUID(), page));
+
+        log.info("H2 room_sessions read p95 at {} rows: first page {}us, deep keyset page {}us, unknown user {}us",
+                ROWS, firstP95, deepP95, coldP95);
+    }
+
+    private long p95Micros(Supplier<List<RoomSession>> query) {
+        // Warm up the query plan and the JIT before measuring
+        for (int i = 0; i < 20; i++) {
+            query.get();
+            entityManager.clear();
+        }
+        long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            List<RoomSession> rows = query.get();
+            samples[i] = (System.nanoTime() - start) / 1000;
+            assertTrue(rows.size() <= PAGE);
+            entityManager.clear();
+        }
+        Arrays.sort(samples);
+        return samples[(int) (RUNS * 0.95) - 1];
+    }
+
+    private String plan(String sql) {
+        Object result = entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult();
+        assertEquals(String.class, result.getClass());
+        return ((String) result).toUpperCase();
+    }
+}
@@ -0,0 +1,143 @@
+package com._P_Doodle.Backend.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeartbeatWheelTest {
+
+    private static final long TICK = 1000;
+    private static final long GRACE = 5000;
+
+    @Test
+    void doesNotExpireBeforeGracePeriod() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        wheel.track("a", UUID.randomUUID(), 0);
+
+        assertTrue(ids(wheel.advance(4999)).isEmpty());
+        assertEquals(1, wheel.onlineUsers());
+
+        assertEquals(List.of("a"), ids(wheel.advance(5000)));
+        assertEquals(0, wheel.onlineUsers());
+    }
+
+    @Test
+    void touchPushesDeadlineBack() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        wheel.track("a", UUID.randomUUID(), 0);
+
+        assertTrue(wheel.touch("a", 3000));
+        assertTrue(ids(wheel.advance(5000)).isEmpty());
+        assertTrue(ids(wheel.advance(7999)).isEmpty());
+        assertEquals(List.of("a"), ids(wheel.advance(8000)));
+    }
+
+    @Test
+    void touchReturnsFalseForUntrackedUser() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+
+        assertFalse(wheel.touch("a", 0));
+    }
+
+    @Test
+    void longPauseSkippingRotationsStillExpiresAndReschedules() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        wheel.track("stale", UUID.randomUUID(), 0);
+        wheel.track("fresh", UUID.randomUUID(), 0);
+        wheel.touch("fresh", 98_000);
+
+        // Many rotations later in a single advance
+        assertEquals(List.of("stale"), ids(wheel.advance(100_000)));
+        assertEquals(1, wheel.onlineUsers());
+
+        assertTrue(ids(wheel.advance(102_999)).isEmpty());
+        assertEquals(List.of("fresh"), ids(wheel.advance(103_000)));
+    }
+
+    @Test
+    void trackFarAheadOfCurrentTick() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        wheel.track("a", UUID.randomUUID(), 1_000_000);
+
+        assertTrue(ids(wheel.advance(1_004_999)).isEmpty());
+        assertEquals(List.of("a"), ids(wheel.advance(1_005_000)));
+    }
+
+    @Test
+    void onlineRoomsFollowMovesUntrackAndExpiry() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        UUID room1 = UUID.randomUUID();
+        UUID room2 = UUID.randomUUID();
+
+        wheel.track("a", room1, 0);
+        wheel.track("b", room1, 0);
+        wheel.track("c", room2, 0);
+        assertEquals(3, wheel.onlineUsers());
+        assertEquals(2, wheel.onlineRooms());
+
+        wheel.track("c", room1, 0);
+        assertEquals(3, wheel.onlineUsers());
+        assertEquals(1, wheel.onlineRooms());
+
+        wheel.untrack("a");
+        assertEquals(2, wheel.onlineUsers());
+        assertEquals(1, wheel.onlineRooms());
+
+        assertEquals(Set.of("b", "c"), new HashSet<>(ids(wheel.advance(5000))));
+        assertEquals(0, wheel.onlineUsers());
+        assertEquals(0, wheel.onlineRooms());
+    }
+
+    @Test
+    void handlesHundredThousandSessions() {
+        int sessions = 100_000;
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        UUID[] rooms = new UUID[sessions / 2];
+        for (int i = 0; i < rooms.length; i++) {
+            rooms[i] = UUID.randomUUID();
+        }
+        for (int i = 0; i < sessions; i++) {
+            wheel.track("user-" + i, rooms[i / 2], 0);
+        }
+        assertEquals(sessions, wheel.onlineUsers());
+        assertEquals(sessions / 2, wheel.onlineRooms());
+
+        // Even users keep beating, odd users went away
+        for (int i = 0; i < sessions; i += 2) {
+            wheel.touch("user-" + i, 3000);
+        }
+        for (long now = 1000; now < 5000; now += TICK) {
+            assertTrue(wheel.advance(now).isEmpty());
+        }
+
+        List<String> expired = ids(wheel.advance(5000));
+        assertEquals(sessions / 2, expired.size());
+        assertTrue(expired.stream().allMatch(id -> Integer.parseInt(id.substring(5)) % 2 == 1));
+        assertEquals(sessions / 2, wheel.onlineUsers());
+        assertEquals(sessions / 2, wheel.onlineRooms());
+
+        assertEquals(sessions / 2, ids(wheel.advance(8000)).size());
+        assertEquals(0, wheel.onlineUsers());
+        assertEquals(0, wheel.onlineRooms());
+    }
+
+    @Test
+    void reportsLastSeenTimeOfExpiredParticipants() {
+        HeartbeatWheel wheel = new HeartbeatWheel(TICK, GRACE, 0);
+        wheel.track("a", UUID.randomUUID(), 0);
+        wheel.touch("a", 2500);
+
+        assertEquals(List.of(new HeartbeatWheel.Expired("a", 2500)), wheel.advance(10_000));
+    }
+
+    private static List<String> ids(List<HeartbeatWheel.Expired> expired) {
+        return expired.stream().map(HeartbeatWheel.Expired::userId).toList();
+    }
+}
@@ -0,0 +1,270 @@
+package com._P_Doodle.Backend.Service;
+
+import com._P_Doodle.Backend.Model.PartnerStats;
+import com._P_Doodle.Backend.Model.Room;
+import com._P_Doodle.Backend.Model.User;
+import com._P_Doodle.Backend.Model.UserStats;
+import com._P_Doodle.Backend.Repository.PartnerStatsRepository;
+import com._P_Doodle.Backend.Repository.RoomRepository;
+import com._P_Doodle.Backend.Repository.RoomSessionRepository;
+import com._P_Doodle.Backend.Repository.UserRepository;
+import com._P_Doodle.Backend.Repository.UserStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(HistoryService.class)
+class HistoryServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private RoomSessionRepository roomSessionRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private PartnerStatsRepository partnerStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void pagesThroughRowsSharingStartedAtWithoutGapsOrDuplicates() {
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            historyService.onRoomCreated(room("SAME0" + i, user, T0));
+        }
+        historyService.onRoomCreated(room("LATER1", user, T0.plusMinutes(1)));
+        historyService.onRoomCreated(room("LATER2", user, T0.plusMinutes(2)));
+
+        List<String> codes = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Map<String, Object> page = historyService.getHistory(user.toString(), cursor, 2);
+            for (Map<String, Object> item : items(page)) {
+                codes.add((String) item.get("roomCode"));
+            }
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages);
+        assertEquals(7, codes.size());
+        assertEquals(7, codes.stream().distinct().count());
+        assertEquals(List.of("LATER2", "LATER1"), codes.subList(0, 2));
+    }
+
+    @Test
+    void cursorRoundTripsToTheNextRow() {
+        UUID user = UUID.randomUUID();
+        historyService.onRoomCreated(room("FIRST1", user, T0));
+        historyService.onRoomCreated(room("SECND2", user, T0.plusSeconds(1)));
+
+        Map<String, Object> first = historyService.getHistory(user.toString(), null, 1);
+        assertEquals("SECND2", items(first).get(0).get("roomCode"));
+
+        Map<String, Object> second = historyService.getHistory(user.toString(), (String) first.get("nextCursor"), 1);
+        assertEquals("FIRST1", items(second).get(0).get("roomCode"));
+        assertNull(second.get("nextCursor"));
+    }
+
+    @Test
+    void rejectsInvalidCursor() {
+        assertThrows(RuntimeException.class,
+                () -> historyService.getHistory(UUID.randomUUID().toString(), "not-a-cursor", 10));
+    }
+
+    @Test
+    void closingRoomsAggregatesSessionsPairedTimeAndPartners() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        saveUser(bob, "Bob");
+
+        Room first = room("PAIR01", alice, T0);
+        historyService.onRoomCreated(first);
+        join(first, bob, T0.plusSeconds(10));
+        historyService.onRoomClosed(first, T0.plusSeconds(100));
+
+        Room second = room("PAIR02", bob, T0.plusHours(1));
+        historyService.onRoomCreated(second);
+        join(second, alice, T0.plusHours(1));
+        historyService.onRoomClosed(second, T0.plusHours(1).plusSeconds(30));
+
+        UserStats aliceStats = userStatsRepository.findById(alice).orElseThrow();
+        assertEquals(1L, aliceStats.getRoomsCreated());
+        assertEquals(2L, aliceStats.getSessions());
+        assertEquals(120L, aliceStats.getTotalPairedSeconds());
+
+        UserStats bobStats = userStatsRepository.findById(bob).orElseThrow();
+        assertEquals(1L, bobStats.getRoomsCreated());
+        assertEquals(2L, bobStats.getSessions());
+        assertEquals(120L, bobStats.getTotalPairedSeconds());
+
+        PartnerStats partner = partnerStatsRepository.findByUserIdAndPartnerId(alice, bob).orElseThrow();
+        assertEquals(2L, partner.getSessions());
+        assertEquals(120L, partner.getTotalPairedSeconds());
+        assertTrue(partnerStatsRepository.findByUserIdAndPartnerId(bob, alice).isPresent());
+
+        assertTrue(roomSessionRepository.findByRoomIdAndEndedAtIsNull(first.getId()).isEmpty());
+        assertTrue(roomSessionRepository.findByRoomIdAndEndedAtIsNull(second.getId()).isEmpty());
+
+        Map<String, Object> stats = historyService.getStats(alice.toString());
+        assertEquals(2L, stats.get("sessions"));
+        List<?> partners = (List<?>) stats.get("frequentPartners");
+        assertEquals(1, partners.size());
+        assertEquals("Bob", ((Map<?, ?>) partners.get(0)).get("partner"));
+    }
+
+    @Test
+    void unpairedRoomDoesNotCountAsSession() {
+        UUID user = UUID.randomUUID();
+        Room room = room("ALONE1", user, T0);
+        historyService.onRoomCreated(room);
+        historyService.onRoomClosed(room, T0.plusMinutes(5));
+
+        UserStats stats = userStatsRepository.findById(user).orElseThrow();
+        assertEquals(1L, stats.getRoomsCreated());
+        assertEquals(0L, stats.getSessions());
+        assertEquals(0L, stats.getTotalPairedSeconds());
+    }
+
+    @Test
+    void frequentPartnersBreakTiesByMostRecent() {
+        UUID user = UUID.randomUUID();
+        UUID older = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        saveUser(older, "Older");
+        saveUser(newer, "Newer");
+
+        Room first = room("TIE001", user, T0);
+        historyService.onRoomCreated(first);
+        join(first, older, T0);
+        historyService.onRoomClosed(first, T0.plusMinutes(1));
+
+        Room second = room("TIE002", user, T0.plusHours(1));
+        historyService.onRoomCreated(second);
+        join(second, newer, T0.plusHours(1));
+        historyService.onRoomClosed(second, T0.plusHours(1).plusMinutes(1));
+
+        List<?> partners = (List<?>) historyService.getStats(user.toString()).get("frequentPartners");
+        assertEquals("Newer", ((Map<?, ?>) partners.get(0)).get("partner"));
+        assertEquals("Older", ((Map<?, ?>) partners.get(1)).get("partner"));
+    }
+
+    @Test
+    void statsShowNewValuesOnceTheCloseCommits() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        assertEquals(0L, historyService.getStats(alice.toString()).get("sessions"));
+
+        Room room = room("EVICT1", alice, T0);
+        historyService.onRoomCreated(room);
+        join(room, bob, T0);
+        historyService.onRoomClosed(room, T0.plusMinutes(1));
+
+        // Not committed yet, so the cached stats stay
+        assertEquals(0L, historyService.getStats(alice.toString()).get("sessions"));
+
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        assertEquals(1L, historyService.getStats(alice.toString()).get("sessions"));
+    }
+
+    @Test
+    void readStartedBeforeCommitIsNotCached() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        // A concurrent read starts and sees the old stats
+        long generation = historyService.currentGeneration(alice);
+        Map<String, Object> stale = Map.of("sessions", 0L);
+
+        Room room = room("EVICT2", alice, T0);
+        historyService.onRoomCreated(room);
+        join(room, bob, T0);
+        historyService.onRoomClosed(room, T0.plusMinutes(1));
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        // The read finishes after the commit evicted the entry
+        historyService.cacheIfCurrent(alice, generation, stale);
+
+        assertEquals(1L, historyService.getStats(alice.toString()).get("sessions"));
+    }
+
+    @Test
+    void backfillIsIdempotent() {
+        UUID user1 = UUID.randomUUID();
+        UUID user2 = UUID.randomUUID();
+        Room room = room("BACK01", user1, T0);
+        room.setId(null);
+        room.setUser2Id(user2);
+        room.setIsLocked(true);
+        roomRepository.save(room);
+
+        assertTrue(historyService.backfillRoom(room.getId()));
+        assertFalse(historyService.backfillRoom(room.getId()));
+
+        assertEquals(1, items(historyService.getHistory(user1.toString(), null, 10)).size());
+        assertEquals(1, items(historyService.getHistory(user2.toString(), null, 10)).size());
+        assertEquals(1L, userStatsRepository.findById(user1).orElseThrow().getRoomsCreated());
+        assertEquals(2, roomSessionRepository.findByRoomIdAndEndedAtIsNull(room.getId()).size());
+    }
+
+    @Test
+    void backfillSkipsRoomsThatAreGone() {
+        assertFalse(historyService.backfillRoom(UUID.randomUUID()));
+    }
+
+    private Room room(String code, UUID owner, LocalDateTime createdAt) {
+        Room room = new Room();
+        room.setId(UUID.randomUUID());
+        room.setRoomCode(code);
+        room.setUser1Id(owner);
+        room.setIsLocked(false);
+        room.setCreatedAt(createdAt);
+        return room;
+    }
+
+    private void join(Room room, UUID user, LocalDateTime pairedAt) {
+        room.setUser2Id(user);
+        room.setIsLocked(true);
+        historyService.onRoomJoined(room, pairedAt);
+    }
+
+    private void saveUser(UUID id, String name) {
+        User user = new User();
+        user.setId(id.toString());
+        user.setName(name);
+        userRepository.save(user);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> items(Map<String, Object> page) {
+        return (List<Map<String, Object>>) page.get("items");
+    }
+}
@@ -0,0 +1,109 @@
+package com._P_Doodle.Backend.Service;
+
+import com._P_Doodle.Backend.Repository.RoomRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "presence.grace-seconds=60",
+        "presence.tick-millis=1000",
+        "presence.scheduling=false"
+})
+@Import({RoomService.class, PresenceService.class, PresenceMonitor.class, HistoryService.class})
+class PresenceMonitorTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private PresenceMonitor presenceMonitor;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void useTestClock() {
+        presenceService.setClock(now::get);
+    }
+
+    @Test
+    void expiredUserLeavesAndPartnerGetsNoRoom() {
+        String alice = UUID.randomUUID().toString();
+        String bob = UUID.randomUUID().toString();
+        pair(alice, bob);
+
+        now.set(30_000);
+        assertEquals("IN_ROOM", roomService.heartbeat(bob).get("status"));
+
+        now.set(59_999);
+        presenceMonitor.tick();
+        assertTrue(roomRepository.findByUserId(UUID.fromString(alice)).isPresent());
+
+        // Alice has not been seen for the whole grace period
+        now.set(60_000);
+        presenceMonitor.tick();
+        assertTrue(roomRepository.findByUserId(UUID.fromString(alice)).isEmpty());
+
+        assertEquals("NO_ROOM", roomService.heartbeat(bob).get("status"));
+        assertEquals("NO_ROOM", roomService.getRoomStatus(bob).get("status"));
+        assertEquals(0, presenceService.getCounts().get("onlineUsers"));
+        assertEquals(0, presenceService.getCounts().get("onlineRooms"));
+    }
+
+    @Test
+    void heartbeatAndStatusRetrackAfterRestart() {
+        String alice = UUID.randomUUID().toString();
+        String bob = UUID.randomUUID().toString();
+        pair(alice, bob);
+
+        // A fresh wheel is what a restart leaves behind
+        presenceService.setClock(now::get);
+        assertEquals(0, presenceService.getCounts().get("onlineUsers"));
+
+        assertEquals("IN_ROOM", roomService.heartbeat(alice).get("status"));
+        assertEquals(1, presenceService.getCounts().get("onlineUsers"));
+
+        assertEquals("PAIRED", roomService.getRoomStatus(bob).get("status"));
+        assertEquals(2, presenceService.getCounts().get("onlineUsers"));
+        assertEquals(1, presenceService.getCounts().get("onlineRooms"));
+    }
+
+    @Test
+    void seedTracksParticipantsOfExistingRooms() {
+        String alice = UUID.randomUUID().toString();
+        String bob = UUID.randomUUID().toString();
+        String carol = UUID.randomUUID().toString();
+        pair(alice, bob);
+        roomService.createRoom(carol);
+
+        presenceService.setClock(now::get);
+        presenceMonitor.seed();
+        assertEquals(3, presenceService.getCounts().get("onlineUsers"));
+        assertEquals(2, presenceService.getCounts().get("onlineRooms"));
+
+        // Nobody came back after the restart, so the leftover rooms get cleaned up
+        now.set(60_000);
+        presenceMonitor.tick();
+        assertEquals(0L, roomRepository.count());
+    }
+
+    private void pair(String creator, String joiner) {
+        String code = (String) roomService.createRoom(creator).get("code");
+        roomService.joinRoom(joiner, code);
+    }
+}
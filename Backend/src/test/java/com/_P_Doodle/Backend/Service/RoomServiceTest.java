@@ -0,0 +1,153 @@
+package com._P_Doodle.Backend.Service;
+
+import com._P_Doodle.Backend.Model.RoomSession;
+import com._P_Doodle.Backend.Model.User;
+import com._P_Doodle.Backend.Model.UserStats;
+import com._P_Doodle.Backend.Repository.PartnerStatsRepository;
+import com._P_Doodle.Backend.Repository.RoomSessionRepository;
+import com._P_Doodle.Backend.Repository.UserRepository;
+import com._P_Doodle.Backend.Repository.UserStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Room transitions through RoomService feed the history read model.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "presence.grace-seconds=60",
+        "presence.tick-millis=1000",
+        "presence.scheduling=false"
+})
+@Import({RoomService.class, PresenceService.class, PresenceMonitor.class, HistoryService.class})
+class RoomServiceTest {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private PresenceService presenceService;
+
+    @Autowired
+    private PresenceMonitor presenceMonitor;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private RoomSessionRepository roomSessionRepository;
+
+    @Autowired
+    private UserStatsRepository userStatsRepository;
+
+    @Autowired
+    private PartnerStatsRepository partnerStatsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void useTestClock() {
+        presenceService.setClock(now::get);
+    }
+
+    @Test
+    void createJoinLeaveRecordsHistoryForBothUsers() {
+        UUID alice = saveUser("Alice");
+        UUID bob = saveUser("Bob");
+
+        String code = (String) roomService.createRoom(alice.toString()).get("code");
+        roomService.joinRoom(bob.toString(), code);
+        roomService.leaveRoom(bob.toString());
+
+        Map<String, Object> aliceItem = onlyItem(alice);
+        assertEquals(code, aliceItem.get("roomCode"));
+        assertEquals("Bob", aliceItem.get("partner"));
+        assertNotNull(aliceItem.get("pairedAt"));
+        assertNotNull(aliceItem.get("endedAt"));
+
+        Map<String, Object> bobItem = onlyItem(bob);
+        assertEquals("Alice", bobItem.get("partner"));
+        assertNotNull(bobItem.get("endedAt"));
+
+        UserStats aliceStats = userStatsRepository.findById(alice).orElseThrow();
+        assertEquals(1L, aliceStats.getRoomsCreated());
+        assertEquals(1L, aliceStats.getSessions());
+        assertEquals(1L, userStatsRepository.findById(bob).orElseThrow().getSessions());
+        assertEquals(1L, partnerStatsRepository.findByUserIdAndPartnerId(alice, bob).orElseThrow().getSessions());
+        assertEquals(1L, partnerStatsRepository.findByUserIdAndPartnerId(bob, alice).orElseThrow().getSessions());
+    }
+
+    @Test
+    void leavingAnUnpairedRoomClosesItsHistory() {
+        UUID alice = saveUser("Alice");
+
+        roomService.createRoom(alice.toString());
+        roomService.leaveRoom(alice.toString());
+
+        assertNotNull(onlyItem(alice).get("endedAt"));
+        assertEquals(0L, userStatsRepository.findById(alice).orElseThrow().getSessions());
+    }
+
+    @Test
+    void autoLeaveEndsSessionAtLastHeartbeat() {
+        UUID alice = saveUser("Alice");
+        UUID bob = saveUser("Bob");
+
+        String code = (String) roomService.createRoom(alice.toString()).get("code");
+        roomService.joinRoom(bob.toString(), code);
+
+        now.set(30_000);
+        roomService.heartbeat(bob.toString());
+
+        // Alice was last seen at 0 and expires a full grace period (60s) later
+        now.set(60_000);
+        LocalDateTime before = LocalDateTime.now();
+        presenceMonitor.tick();
+        LocalDateTime after = LocalDateTime.now();
+
+        List<RoomSession> sessions = roomSessionRepository.findLatestByUserId(alice, PageRequest.of(0, 1));
+        LocalDateTime endedAt = sessions.get(0).getEndedAt();
+        assertNotNull(endedAt);
+        assertFalse(endedAt.isBefore(before.minusSeconds(60)));
+        assertFalse(endedAt.isAfter(after.minusSeconds(60)));
+
+        // The grace period is not counted as paired time
+        assertEquals(0L, userStatsRepository.findById(alice).orElseThrow().getTotalPairedSeconds());
+        assertEquals(0L, userStatsRepository.findById(bob).orElseThrow().getTotalPairedSeconds());
+        assertEquals(endedAt, roomSessionRepository.findLatestByUserId(bob, PageRequest.of(0, 1)).get(0).getEndedAt());
+    }
+
+    private UUID saveUser(String name) {
+        UUID id = UUID.randomUUID();
+        User user = new User();
+        user.setId(id.toString());
+        user.setName(name);
+        userRepository.save(user);
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> onlyItem(UUID userId) {
+        List<Map<String, Object>> items =
+                (List<Map<String, Object>>) historyService.getHistory(userId.toString(), null, 10).get("items");
+        assertEquals(1, items.size());
+        return items.get(0);
+    }
+}
@@ -69,6 +69,47 @@ export function OptionScreen() {
         };
     }, [session, apiUrl]);
 
+    useEffect(() => {
+        if (!session) return;
+
+        let heartbeat: number | undefined;
+
+        // Keep our presence alive; the backend leaves the room if heartbeats stop
+        const sendHeartbeat = async () => {
+            try {
+                const res = await fetch(`${apiUrl}/room/heartbeat`, {
+                    method: 'POST',
+                    headers: { Authorization: `Bearer ${session.access_token}` },
+                });
+                if (res.ok) {
+                    const data = await res.json();
+                    if (data.status === 'NO_ROOM') {
+                        // Partner left or was disconnected; stop heartbeats and go back home
+                        if (heartbeat) window.clearInterval(heartbeat);
+                        heartbeat = undefined;
+                        navigate('/Home');
+                    }
+                }
+            } catch (e) {
+                // ignore
+            }
+        };
+
+        // Background tabs get their timers throttled, so beat as soon as we are visible again
+        const onVisibilityChange = () => {
+            if (document.visibilityState === 'visible' && heartbeat) sendHeartbeat();
+        };
+
+        heartbeat = window.setInterval(sendHeartbeat, 10000);
+        sendHeartbeat();
+        document.addEventListener('visibilitychange', onVisibilityChange);
+
+        return () => {
+            if (heartbeat) window.clearInterval(heartbeat);
+            document.removeEventListener('visibilitychange', onVisibilityChange);
+        };
+    }, [session, apiUrl, navigate]);
+
     const breakLink = async () => {
         if (!session) return;
         try {